@@ -0,0 +1,205 @@
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Índice de blocagem para deduplicação de nomes.<br>
+ * Os registros são agrupados pela chave fonética do nome ({@link PhoneticUtils#key(String)}) e
+ * apenas registros do mesmo bloco são comparados, evitando a comparação de todos os pares.<br>
+ * Cada bloco guarda os identificadores em um array de {@code int}, sem boxing.<br>
+ * Ex:
+ * <pre>
+ * var index = new NameBlockingIndex();
+ * for (var i = 0; i < clientes.size(); i++)
+ *     index.add(i, clientes.get(i).getNome());
+ * index.forEachCandidatePair((a, b) -> comparar(clientes.get(a), clientes.get(b)), true);
+ * </pre>
+ * A inclusão de registros não é thread-safe; a geração de pares pode ser feita em paralelo
+ * após a carga do índice.
+ *
+ * @author Marks Duarte
+ */
+public class NameBlockingIndex {
+
+    private static final String MAX_BLOCK_SIZE_MUST_BE_POSITIVE = "O tamanho máximo do bloco deve ser maior que zero";
+
+    /** Blocos acima deste tamanho têm os pares divididos entre as threads. */
+    private static final int PARALLEL_BLOCK_SIZE = 1024;
+
+    private final Function<String, String> keyGenerator;
+    private final Map<String, Postings> blocks = new HashMap<>();
+    private int maxBlockSize = Integer.MAX_VALUE;
+
+    /**
+     * Agrupa os registros pela chave fonética completa do nome.
+     */
+    public NameBlockingIndex() {
+        this(PhoneticUtils::key);
+    }
+
+    /**
+     * @param keyGenerator Função que gera a chave do bloco a partir do nome, ex: apenas primeiro e último nome.
+     */
+    public NameBlockingIndex(Function<String, String> keyGenerator) {
+        if (keyGenerator == null)
+            throw new IllegalArgumentException("O gerador de chaves não pode ser nulo");
+        this.keyGenerator = keyGenerator;
+    }
+
+    /**
+     * Ignora na geração de pares os blocos maiores que o limite informado.<br>
+     * Blocos muito grandes (nomes comuns como Maria Silva) voltam a ter custo quadrático.
+     * Os blocos ignorados podem ser obtidos por {@link #forEachOversizedBlock(BiConsumer)}.
+     * @param maxBlockSize Quantidade máxima de registros de um bloco.
+     * @return O próprio índice.
+     */
+    public NameBlockingIndex maxBlockSize(int maxBlockSize) {
+        if (maxBlockSize <= 0)
+            throw new IllegalArgumentException(MAX_BLOCK_SIZE_MUST_BE_POSITIVE);
+        this.maxBlockSize = maxBlockSize;
+        return this;
+    }
+
+    /**
+     * Adiciona o registro ao bloco correspondente ao nome.
+     * Nomes nulos ou sem chave fonética são ignorados.
+     * @param id Identificador do registro, ex: posição na lista de origem.
+     * @param name Nome do registro.
+     */
+    public void add(int id, String name) {
+        var key = keyGenerator.apply(name);
+        if (key == null || key.isEmpty())
+            return;
+        blocks.computeIfAbsent(key, k -> new Postings()).add(id);
+    }
+
+    /**
+     * @param name Nome a ser pesquisado.
+     * @return Os identificadores do bloco do nome, ou array vazio se não houver.
+     */
+    public int[] get(String name) {
+        var postings = blocks.get(keyGenerator.apply(name));
+        return postings == null ? new int[0] : postings.toArray();
+    }
+
+    /**
+     * @return Quantidade de blocos.
+     */
+    public int size() {
+        return blocks.size();
+    }
+
+    /**
+     * @return Quantidade de pares candidatos que serão gerados, respeitando o tamanho máximo do bloco.
+     */
+    public long candidatePairCount() {
+        long count = 0;
+        for (var postings : blocks.values()) {
+            if (isComparable(postings))
+                count += (long) postings.size * (postings.size - 1) / 2;
+        }
+        return count;
+    }
+
+    /**
+     * Percorre todos os pares de registros que estão no mesmo bloco, cada par uma única vez
+     * com {@code first < second} na ordem de inclusão.<br>
+     * Em paralelo, os blocos pequenos são distribuídos entre as threads e os blocos com mais de
+     * {@value #PARALLEL_BLOCK_SIZE} registros são divididos pelo índice externo do laço, para que
+     * os nomes muito comuns não fiquem concentrados em um único núcleo.
+     * @param consumer Ação executada para cada par; deve ser thread-safe se {@code parallel} for true.
+     * @param parallel Se true, os pares são gerados em paralelo pelo ForkJoinPool comum.
+     * @return Quantidade de pares gerados.
+     */
+    public long forEachCandidatePair(IntPairConsumer consumer, boolean parallel) {
+        List<Postings> small = new ArrayList<>(blocks.size());
+        List<Postings> large = new ArrayList<>();
+        long count = 0;
+        for (var postings : blocks.values()) {
+            if (!isComparable(postings))
+                continue;
+            count += (long) postings.size * (postings.size - 1) / 2;
+            if (parallel && postings.size > PARALLEL_BLOCK_SIZE)
+                large.add(postings);
+            else
+                small.add(postings);
+        }
+        var stream = parallel ? small.parallelStream() : small.stream();
+        stream.forEach(postings -> {
+            for (var i = 0; i < postings.size - 1; i++)
+                postings.forEachPair(i, consumer);
+        });
+        for (var postings : large)
+            IntStream.range(0, postings.size - 1).parallel().forEach(i -> postings.forEachPair(i, consumer));
+        return count;
+    }
+
+    /**
+     * Percorre, de forma sequencial, todos os pares de registros que estão no mesmo bloco.
+     * @param consumer Ação executada para cada par.
+     * @return Quantidade de pares gerados.
+     */
+    public long forEachCandidatePair(IntPairConsumer consumer) {
+        return forEachCandidatePair(consumer, false);
+    }
+
+    /**
+     * Percorre os blocos ignorados na geração de pares por excederem o tamanho máximo, para que
+     * os seus registros possam ser tratados de outra forma, ex: reagrupados por uma chave mais específica.
+     * @param consumer Ação executada com a chave e os identificadores de cada bloco ignorado.
+     * @return Quantidade de registros nos blocos ignorados.
+     */
+    public long forEachOversizedBlock(BiConsumer<String, int[]> consumer) {
+        long count = 0;
+        for (var block : blocks.entrySet()) {
+            var postings = block.getValue();
+            if (postings.size <= maxBlockSize)
+                continue;
+            consumer.accept(block.getKey(), postings.toArray());
+            count += postings.size;
+        }
+        return count;
+    }
+
+    private boolean isComparable(Postings postings) {
+        return postings.size > 1 && postings.size <= maxBlockSize;
+    }
+
+    /**
+     * Ação executada para cada par candidato, sem boxing dos identificadores.
+     */
+    @FunctionalInterface
+    public interface IntPairConsumer {
+        void accept(int first, int second);
+    }
+
+    /**
+     * Lista de identificadores de um bloco em um array de {@code int} que cresce sob demanda.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length)
+                ids = Arrays.copyOf(ids, size << 1);
+            ids[size++] = id;
+        }
+
+        void forEachPair(int i, IntPairConsumer consumer) {
+            var first = ids[i];
+            for (var j = i + 1; j < size; j++)
+                consumer.accept(first, ids[j]);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
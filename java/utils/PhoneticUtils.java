@@ -0,0 +1,246 @@
+
+import java.text.Normalizer;
+
+/**
+ * Gera chaves fonéticas para nomes em português, no estilo BuscaBR/Soundex.<br>
+ * Nomes com grafias diferentes e mesma pronúncia geram a mesma chave, permitindo agrupar
+ * candidatos a duplicidade sem comparar todos os pares.<br>
+ * Ex: Sophia Ferraz -> SF FR || Sofia Feraz -> SF FR || Phelipe Ygor -> FRP AGR || Felipe Igor -> FRP AGR<br>
+ * A chave não depende da acentuação, então nomes com e sem acento caem no mesmo bloco:<br>
+ * Ex: Falcão -> FRS || Falcao -> FRS || Gonçalves -> GMKRV || GONCALVES -> GMKRV || Lúcia -> RS || Lucia -> RS<br>
+ * Arquivo em UTF-8, assim como as demais classes: compilar com {@code -encoding UTF-8}.
+ *
+ * @author Marks Duarte
+ */
+public final class PhoneticUtils {
+
+    private static final char NONE = '\0';
+    private static final char SEPARATOR = ' ';
+    private static final char IGNORED = '*';
+
+    /** Preposições e conjunções ignoradas na composição da chave: Maria da Silva == Maria Silva. */
+    private static final String[] STOP_WORDS = { "D", "DA", "DAS", "DE", "DI", "DO", "DOS", "DU", "E" };
+
+    /** Tabela de conversão dos blocos Latin-1 e Latin Extended (U+00C0 a U+024F), montada uma única vez. */
+    private static final char FOLD_START = '\u00C0';
+    private static final char FOLD_END = '\u024F';
+    private static final char[] FOLD = new char[FOLD_END - FOLD_START + 1];
+
+    static {
+        for (var c = FOLD_START; c <= FOLD_END; c++)
+            FOLD[c - FOLD_START] = decompose(c);
+    }
+
+    private PhoneticUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gera a chave fonética do nome, uma sequência de códigos por palavra separados por espaço.<br>
+     * A acentuação é removida pela decomposição NFD, como em {@link StringUtils#unaccent(String)}
+     * (o 'ç' vira 'c'), então {@code key(s)} é igual a {@code key(StringUtils.unaccent(s))}.<br>
+     * Qualquer caractere que não seja letra (espaço, espaço não separável, quebra de linha, barra,
+     * dígitos, apóstrofo tipográfico...) separa as palavras.<br>
+     * Os caracteres são processados em uma única passagem, sem expressões regulares, e a chave é
+     * montada no próprio {@link StringBuilder}: cada chamada aloca apenas o builder e a String retornada.
+     * @param src Nome a ser convertido.
+     * @return A chave fonética ou String vazia se o nome for nulo ou não possuir letras.
+     */
+    public static String key(final String src) {
+        if (src == null || src.isEmpty())
+            return "";
+        var size = src.length();
+        var key = new StringBuilder(size + 1);
+        var wordStart = -1;
+        for (var i = 0; i <= size; i++) {
+            var ch = i < size ? src.charAt(i) : SEPARATOR;
+            var c = fold(ch);
+            if (c == IGNORED) {
+                // Marcas combinantes (texto já em NFD) ou letras sem equivalente ASCII.
+                continue;
+            }
+            if (c != SEPARATOR) {
+                if (wordStart < 0) {
+                    if (key.length() > 0)
+                        key.append(' ');
+                    wordStart = key.length();
+                }
+                key.append(c);
+            } else if (wordStart >= 0) {
+                encodeWord(key, wordStart);
+                wordStart = -1;
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Verifica se os dois nomes possuem a mesma chave fonética.
+     * @param name Primeiro nome a ser comparado.
+     * @param other Segundo nome a ser comparado.
+     * @return true se as chaves forem iguais e não vazias.
+     */
+    public static boolean soundsLike(final String name, final String other) {
+        var key = key(name);
+        return !key.isEmpty() && key.equals(key(other));
+    }
+
+    /**
+     * Substitui as letras da palavra, que estão no final da chave, pelo seu código fonético.<br>
+     * O código nunca é maior que a palavra, então é escrito sobre as próprias letras já lidas.
+     * @param key Chave em construção, terminando com as letras da palavra em maiúsculas e sem acentuação.
+     * @param start Posição da primeira letra da palavra em {@code key}.
+     */
+    private static void encodeWord(final StringBuilder key, final int start) {
+        var size = key.length() - start;
+        var wordEnd = start > 0 ? start - 1 : 0;
+        if (isStopWord(key, start, size)) {
+            key.setLength(wordEnd);
+            return;
+        }
+        var lastLetter = key.charAt(start + size - 1);
+        var out = start;
+        var last = NONE;
+        for (var i = 0; i < size; i++) {
+            var c = key.charAt(start + i);
+            var next = i + 1 < size ? key.charAt(start + i + 1) : NONE;
+            var after = i + 2 < size ? key.charAt(start + i + 2) : NONE;
+            var code = NONE;
+            switch (c) {
+                case 'A': case 'E': case 'I': case 'O': case 'U': case 'Y':
+                    // Vogais são descartadas, apenas a inicial é marcada: Ivone == Yvone == Evone.
+                    if (i == 0)
+                        code = 'A';
+                    break;
+                case 'H':
+                    // H mudo: Helena == Elena, Thaís == Taís.
+                    if (i == 0 && isVowel(next))
+                        code = 'A';
+                    break;
+                case 'P':
+                    if (next == 'H') {
+                        code = 'F';
+                        i++;
+                    } else {
+                        code = 'P';
+                    }
+                    break;
+                case 'C':
+                    // CAO final é tratado como ÇÃO, com ou sem acento: Conceição == Conceicao, Falcão == Falcao.
+                    if (next == 'E' || next == 'I' || next == 'Y' || next == 'H'
+                            || (i + 3 == size && next == 'A' && after == 'O')) {
+                        code = 'S';
+                        if (next == 'H')
+                            i++;
+                    } else {
+                        code = 'K';
+                    }
+                    break;
+                case 'Q':
+                    code = 'K';
+                    if (next == 'U')
+                        i++;
+                    break;
+                case 'G':
+                    if (next == 'E' || next == 'I' || next == 'Y') {
+                        code = 'J';
+                    } else {
+                        code = 'G';
+                        // GUE, GUI: o U não é pronunciado.
+                        if (next == 'U' && (after == 'E' || after == 'I'))
+                            i++;
+                    }
+                    break;
+                case 'S':
+                    code = 'S';
+                    // SCE, SCI: Nascimento == Nasimento.
+                    if (next == 'C' && (after == 'E' || after == 'I'))
+                        i++;
+                    break;
+                case 'L':
+                case 'R':
+                    // BuscaBR trata L e R como o mesmo som: Cláudio == Cráudio.
+                    code = 'R';
+                    if (c == 'L' && next == 'H')
+                        i++;
+                    break;
+                case 'M':
+                case 'N':
+                    code = 'M';
+                    if (c == 'N' && next == 'H')
+                        i++;
+                    break;
+                case 'K': code = 'K'; break;
+                case 'W': case 'V': code = 'V'; break;
+                case 'X': case 'Z': code = 'S'; break;
+                default:
+                    // B, D, F, J, T
+                    code = c;
+                    break;
+            }
+            if (code != NONE && code != last)
+                key.setCharAt(out++, code);
+            // Vogais separam consoantes repetidas: Ana Maria -> AM MR, Rosana -> RSM.
+            last = code != NONE ? code : (isVowel(c) ? NONE : last);
+        }
+        // S ou Z na última letra é descartado: Marques == Marque, Luís == Luiz == Lui. Rosa continua RS.
+        if (out - start > 1 && (lastLetter == 'S' || lastLetter == 'Z') && key.charAt(out - 1) == 'S')
+            out--;
+        key.setLength(out == start ? wordEnd : out);
+    }
+
+    private static boolean isStopWord(final StringBuilder key, final int start, final int size) {
+        for (var stopWord : STOP_WORDS) {
+            if (stopWord.length() != size)
+                continue;
+            var equals = true;
+            for (var i = 0; i < size && equals; i++)
+                equals = stopWord.charAt(i) == key.charAt(start + i);
+            if (equals)
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isVowel(final char c) {
+        return c == 'A' || c == 'E' || c == 'I' || c == 'O' || c == 'U' || c == 'Y';
+    }
+
+    /**
+     * Converte o caractere para maiúscula sem acento.<br>
+     * ASCII é convertido diretamente, os blocos latinos usam a tabela pré-calculada e os demais
+     * caracteres são decompostos sob demanda.
+     * @param c Caractere a ser convertido.
+     * @return A letra de 'A' a 'Z', {@code SEPARATOR} se não for letra ou {@code IGNORED} se for
+     * uma marca combinante ou letra sem equivalente ASCII.
+     */
+    private static char fold(final char c) {
+        if (c >= 'A' && c <= 'Z')
+            return c;
+        if (c >= 'a' && c <= 'z')
+            return (char) (c - ('a' - 'A'));
+        if (c < 0x80)
+            return SEPARATOR;
+        if (c >= FOLD_START && c <= FOLD_END)
+            return FOLD[c - FOLD_START];
+        return decompose(c);
+    }
+
+    /**
+     * Remove a acentuação do caractere pela decomposição NFD, como em {@link StringUtils#unaccent(String)}.
+     * @param c Caractere fora do ASCII.
+     * @return A letra base de 'A' a 'Z', {@code SEPARATOR} ou {@code IGNORED}.
+     */
+    private static char decompose(final char c) {
+        if (Character.getType(c) == Character.NON_SPACING_MARK)
+            return IGNORED;
+        if (!Character.isLetter(c))
+            return SEPARATOR;
+        var base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+        if (base >= 'A' && base <= 'Z')
+            return base;
+        if (base >= 'a' && base <= 'z')
+            return (char) (base - ('a' - 'A'));
+        return IGNORED;
+    }
+}